@@ -14,12 +14,16 @@ import jayo.exceptions.JayoException;
 import jayo.exceptions.JayoFileAlreadyExistsException;
 import jayo.exceptions.JayoFileNotFoundException;
 import jayo.external.NonNegative;
+import jayo.files.internal.BulkFileOperations;
 import jayo.files.internal.RealFile;
 import org.jspecify.annotations.NonNull;
 
 import java.net.URI;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -67,7 +71,8 @@ public sealed interface File permits RealFile {
 
     /**
      * @return the metadata of this file.
-     * @throws JayoFileNotFoundException if the file does not exist anymore.
+     * @throws JayoFileNotFoundException if the file does not exist anymore, or if it is a symlink whose target does not
+     *                                   exist anymore.
      * @throws JayoException             if this file cannot be accessed due to a connectivity problem, permissions
      *                                   problem, or other issue.
      */
@@ -101,6 +106,51 @@ public sealed interface File permits RealFile {
      */
     void atomicMove(final @NonNull Path destination);
 
+    /**
+     * Sorts the records of this file in the natural unsigned lexicographic order of their bytes, then writes them to
+     * {@code destination}, overriding it if it already exists. Equivalent to
+     * {@code sortRecords(destination, format, Arrays::compareUnsigned, 64 MiB)}.
+     *
+     * @param destination the path of the sorted file, it can be the path of this file.
+     * @param format      how the content of this file is split into records.
+     * @return the sorted file.
+     * @throws IllegalArgumentException  if {@code destination} has no file name or is a directory.
+     * @throws JayoFileNotFoundException if the file does not exist anymore.
+     * @throws JayoException             if an I/O error occurs.
+     * @see #sortRecords(Path, RecordFormat, Comparator, long)
+     */
+    @NonNull
+    File sortRecords(final @NonNull Path destination, final @NonNull RecordFormat format);
+
+    /**
+     * Sorts the records of this file, then writes them to {@code destination}, overriding it if it already exists. This
+     * file can be far bigger than the heap : records are sorted in memory by runs of at most {@code maxBufferSize}
+     * bytes, runs are spilled to temporary files in the directory of {@code destination}, then merged. The sorted
+     * content is first written to a temporary file that is atomically moved to {@code destination}. If
+     * {@code destination} already exists, its POSIX permissions are kept.
+     * <p>
+     * The sort is stable : equal records keep their original order. With a {@linkplain RecordFormat#delimited(byte)
+     * delimited} format, every record of the sorted file is terminated by the delimiter, including the last one.
+     *
+     * @param destination   the path of the sorted file, it can be the path of this file.
+     * @param format        how the content of this file is split into records.
+     * @param comparator    the comparator of the raw bytes of two records, the delimiter is never part of a record.
+     * @param maxBufferSize the approximate maximum number of bytes of records held in memory at once, must be strictly
+     *                      positive.
+     * @return the sorted file.
+     * @throws IllegalArgumentException  if {@code destination} has no file name or is a directory, or if
+     *                                   {@code maxBufferSize} is not strictly positive.
+     * @throws IllegalStateException     if the size of this file is not a multiple of the width of a
+     *                                   {@linkplain RecordFormat#fixedWidth(int) fixed width} format.
+     * @throws JayoFileNotFoundException if the file does not exist anymore.
+     * @throws JayoException             if an I/O error occurs.
+     */
+    @NonNull
+    File sortRecords(final @NonNull Path destination,
+                     final @NonNull RecordFormat format,
+                     final @NonNull Comparator<byte[]> comparator,
+                     final long maxBufferSize);
+
     /**
      * Deletes this file
      *
@@ -142,13 +192,78 @@ public sealed interface File permits RealFile {
         return from(Path.of(first, more));
     }
 
+    /**
+     * Opens all the existing files these {@code paths} target, with at most 64 concurrent file system lookups.
+     *
+     * @return the result of opening each path, in the iteration order of {@code paths}.
+     * @see #openAll(Collection, int)
+     */
+    static @NonNull List<@NonNull PathResult<File>> openAll(final @NonNull Collection<@NonNull Path> paths) {
+        return openAll(paths, BulkFileOperations.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Opens all the existing files these {@code paths} target. Lookups are done concurrently on virtual threads, which
+     * mostly helps with high latency file systems like network-mounted storage. Files sharing the same parent directory
+     * share a single existence check of this parent.
+     * <p>
+     * Opening a path never stops the batch if it fails : the returned {@link PathResult} holds the exception that
+     * {@link FileBuilder#open()} would have thrown, for example a {@link JayoFileNotFoundException} if the file does
+     * not exist.
+     *
+     * @param paths          the paths to open, a path present several times is opened only once.
+     * @param maxConcurrency the maximum number of concurrent file system lookups, must be strictly positive.
+     * @return the result of opening each path, in the iteration order of {@code paths}.
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not strictly positive.
+     * @throws JayoException            if the current thread is interrupted while waiting for the results.
+     */
+    static @NonNull List<@NonNull PathResult<File>> openAll(final @NonNull Collection<@NonNull Path> paths,
+                                                            final int maxConcurrency) {
+        Objects.requireNonNull(paths);
+        return BulkFileOperations.openAll(paths, maxConcurrency);
+    }
+
+    /**
+     * Reads the metadata of all these {@code files}, with at most 64 concurrent file system lookups.
+     *
+     * @return the metadata of each file, in the iteration order of {@code files}.
+     * @see #getAllMetadata(Collection, int)
+     */
+    static @NonNull List<@NonNull PathResult<FileMetadata>> getAllMetadata(
+            final @NonNull Collection<? extends @NonNull File> files) {
+        return getAllMetadata(files, BulkFileOperations.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Reads the metadata of all these {@code files}. Lookups are done concurrently on virtual threads, which mostly
+     * helps with high latency file systems like network-mounted storage.
+     * <p>
+     * Reading the metadata of a file never stops the batch if it fails : the returned {@link PathResult} holds the
+     * exception that {@link #getMetadata()} would have thrown, for example a {@link JayoFileNotFoundException} if the
+     * file does not exist anymore.
+     *
+     * @param files          the files to read the metadata of, a file present several times is read only once.
+     * @param maxConcurrency the maximum number of concurrent file system lookups, must be strictly positive.
+     * @return the metadata of each file, in the iteration order of {@code files}.
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not strictly positive.
+     * @throws JayoException            if the current thread is interrupted while waiting for the results.
+     */
+    static @NonNull List<@NonNull PathResult<FileMetadata>> getAllMetadata(
+            final @NonNull Collection<? extends @NonNull File> files,
+            final int maxConcurrency) {
+        Objects.requireNonNull(files);
+        return BulkFileOperations.getAllMetadata(files, maxConcurrency);
+    }
+
     sealed interface FileBuilder permits RealFile.FileBuilder {
         /**
          * Opens this existing file, then returns it.
          *
          * @return the opened file
-         * @throws JayoFileAlreadyExistsException if a file of that name already exists.
-         * @throws JayoException                  if an I/O error occurs or the parent directory does not exist.
+         * @throws JayoFileNotFoundException if the file or its parent directory does not exist.
+         * @throws IllegalArgumentException  if the path targets a directory.
+         * @throws JayoException             if the file cannot be accessed due to a connectivity problem, permissions
+         *                                   problem, or other issue.
          */
         @NonNull
         File open();
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2024-present, pull-vert and Jayo contributors.
+ * Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package jayo.files;
+
+import jayo.files.internal.RealPathResult;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of an operation applied to one path of a batch, see {@link File#openAll(java.util.Collection)} and
+ * {@link File#getAllMetadata(java.util.Collection)}. It is either a success holding a value, or a failure holding the
+ * exception this operation would have thrown for this path alone.
+ */
+public sealed interface PathResult<T> permits RealPathResult {
+    /**
+     * @return the path this result is about.
+     */
+    @NonNull
+    Path getPath();
+
+    /**
+     * @return true if the operation succeeded for this path.
+     */
+    boolean isSuccess();
+
+    /**
+     * @return the value if the operation succeeded for this path, else null.
+     */
+    @Nullable
+    T getOrNull();
+
+    /**
+     * @return the value if the operation succeeded for this path.
+     * @throws RuntimeException the exception of the failed operation for this path.
+     */
+    @NonNull
+    T getOrThrow();
+
+    /**
+     * @return the exception if the operation failed for this path, else null.
+     */
+    @Nullable
+    RuntimeException exceptionOrNull();
+}
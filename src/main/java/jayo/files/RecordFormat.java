@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024-present, pull-vert and Jayo contributors.
+ * Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package jayo.files;
+
+import jayo.files.internal.RealRecordFormat;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Describes how the content of a file is split into records, see {@link File#sortRecords(java.nio.file.Path,
+ * RecordFormat)}.
+ */
+public sealed interface RecordFormat permits RealRecordFormat {
+    /**
+     * @return a format where each record is a line terminated by {@code '\n'}. The line terminator is not part of the
+     * record, so a {@code '\r'} preceding it is kept as the last byte of the record.
+     */
+    static @NonNull RecordFormat lines() {
+        return delimited((byte) '\n');
+    }
+
+    /**
+     * @param delimiter the byte that terminates each record. The delimiter is not part of the record, and the last
+     *                  record of the file may omit it.
+     * @return a format where each record is terminated by {@code delimiter}.
+     */
+    static @NonNull RecordFormat delimited(final byte delimiter) {
+        return RealRecordFormat.delimited(delimiter);
+    }
+
+    /**
+     * @param width the exact byte size of each record, must be strictly positive.
+     * @return a format where each record has exactly {@code width} bytes, without any delimiter.
+     * @throws IllegalArgumentException if {@code width} is not strictly positive.
+     */
+    static @NonNull RecordFormat fixedWidth(final int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("width must be strictly positive: " + width);
+        }
+        return RealRecordFormat.fixedWidth(width);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2024-present, pull-vert and Jayo contributors.
+ * Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package jayo.files.internal;
+
+import jayo.exceptions.JayoException;
+import jayo.exceptions.JayoFileNotFoundException;
+import jayo.files.File;
+import jayo.files.FileMetadata;
+import jayo.files.PathResult;
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Applies a file operation to a batch of paths. Operations are fanned out on virtual threads, at most
+ * {@code maxConcurrency} of them are in flight at once, and each path is processed only once even if it is present
+ * several times in the batch. A failure for one path never stops the batch, it is reported in its {@link PathResult}.
+ */
+public final class BulkFileOperations {
+    public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    // un-instantiable
+    private BulkFileOperations() {
+    }
+
+    public static @NonNull List<@NonNull PathResult<File>> openAll(final @NonNull Collection<@NonNull Path> paths,
+                                                                   final int maxConcurrency) {
+        Objects.requireNonNull(paths);
+        // when a file is not found, the existence of its parent directory is checked once for all its siblings : if it
+        // is missing, the siblings that were not opened yet fail without any additional stat
+        final var missingParents = new MissingParents();
+        return run(paths, maxConcurrency, path -> {
+            final var parent = path.toAbsolutePath().getParent();
+            if (parent != null && missingParents.isKnownMissing(parent)) {
+                throw new JayoFileNotFoundException("Path does not exist: " + path);
+            }
+            try {
+                return RealFile.checkAndBuildFile(path);
+            } catch (JayoFileNotFoundException e) {
+                if (parent != null) {
+                    // the result is remembered for the siblings, this file fails anyway
+                    missingParents.isMissing(parent);
+                }
+                throw e;
+            }
+        });
+    }
+
+    public static @NonNull List<@NonNull PathResult<FileMetadata>> getAllMetadata(
+            final @NonNull Collection<? extends @NonNull File> files,
+            final int maxConcurrency) {
+        Objects.requireNonNull(files);
+        final var paths = new ArrayList<Path>(files.size());
+        for (final var file : files) {
+            paths.add(file.getPath());
+        }
+        return run(paths, maxConcurrency, RealFile::readMetadata);
+    }
+
+    private static <T> @NonNull List<@NonNull PathResult<T>> run(final @NonNull Collection<@NonNull Path> paths,
+                                                                 final int maxConcurrency,
+                                                                 final @NonNull Function<Path, T> operation) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be strictly positive: " + maxConcurrency);
+        }
+        final var permits = new Semaphore(maxConcurrency);
+        final var pending = new HashMap<Path, Future<PathResult<T>>>();
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (final var path : paths) {
+                Objects.requireNonNull(path);
+                if (pending.containsKey(path)) {
+                    continue;
+                }
+                // acquired before submitting, so no more than maxConcurrency threads are ever started at once
+                permits.acquire();
+                pending.put(path, executor.submit(() -> {
+                    try {
+                        return RealPathResult.success(path, operation.apply(path));
+                    } catch (RuntimeException e) {
+                        return RealPathResult.failure(path, e);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            final var results = new ArrayList<PathResult<T>>(paths.size());
+            for (final var path : paths) {
+                results.add(await(pending.get(path)));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw JayoException.buildJayoException(new InterruptedIOException("Interrupted while processing paths"));
+        }
+    }
+
+    private static <T> T await(final @NonNull Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static final class MissingParents {
+        private final @NonNull ConcurrentHashMap<Path, FutureTask<Boolean>> checks = new ConcurrentHashMap<>();
+
+        /**
+         * @return true if a previous check found that this parent directory does not exist.
+         */
+        private boolean isKnownMissing(final @NonNull Path parent) {
+            final var check = checks.get(parent);
+            return check != null && await(parent, check);
+        }
+
+        /**
+         * @return true if this parent directory does not exist. Other failures, like a permission problem, are left to
+         * the stat of each child, so it reports the same exception as opening this child alone.
+         */
+        private boolean isMissing(final @NonNull Path parent) {
+            var check = checks.get(parent);
+            if (check == null) {
+                final var newCheck = new FutureTask<>(() -> {
+                    try {
+                        Files.readAttributes(parent, BasicFileAttributes.class);
+                        return false;
+                    } catch (NoSuchFileException e) {
+                        return true;
+                    } catch (IOException e) {
+                        return false;
+                    }
+                });
+                check = checks.putIfAbsent(parent, newCheck);
+                if (check == null) {
+                    // this thread won the race, it does the check while siblings wait for its result
+                    check = newCheck;
+                    newCheck.run();
+                }
+            }
+            return await(parent, check);
+        }
+
+        private static boolean await(final @NonNull Path parent, final @NonNull FutureTask<Boolean> check) {
+            try {
+                return BulkFileOperations.await(check);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw JayoException.buildJayoException(
+                        new InterruptedIOException("Interrupted while checking parent directory " + parent));
+            }
+        }
+    }
+}
@@ -16,11 +16,14 @@ import jayo.exceptions.JayoFileNotFoundException;
 import jayo.external.NonNegative;
 import jayo.files.File;
 import jayo.files.FileMetadata;
+import jayo.files.RecordFormat;
 import org.jspecify.annotations.NonNull;
 
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -89,17 +92,28 @@ public final class RealFile implements File {
 
     @Override
     public @NonNull FileMetadata getMetadata() {
-        if (!Files.exists(path)) {
-            throw new JayoFileNotFoundException("file does not exist anymore");
-        }
+        return readMetadata(path);
+    }
+
+    /**
+     * Reads the metadata with a single stat, plus one for the target of a symlink.
+     */
+    static @NonNull FileMetadata readMetadata(final @NonNull Path path) {
         try {
             final var attributes = Files.readAttributes(
                     path,
                     BasicFileAttributes.class,
                     LinkOption.NOFOLLOW_LINKS
             );
-            final var symlinkTarget = (attributes.isSymbolicLink()) ? Files.readSymbolicLink(path) : null;
-            return new RealFileMetadata(attributes, symlinkTarget);
+            if (!attributes.isSymbolicLink()) {
+                return new RealFileMetadata(attributes, null);
+            }
+            if (!Files.exists(path)) {
+                throw new JayoFileNotFoundException("file does not exist anymore");
+            }
+            return new RealFileMetadata(attributes, Files.readSymbolicLink(path));
+        } catch (NoSuchFileException e) {
+            throw new JayoFileNotFoundException("file does not exist anymore");
         } catch (IOException e) {
             throw JayoException.buildJayoException(e);
         }
@@ -118,6 +132,32 @@ public final class RealFile implements File {
         return Jayo.hmac(reader(), hMac, key);
     }
 
+    @Override
+    public @NonNull File sortRecords(final @NonNull Path destination, final @NonNull RecordFormat format) {
+        return sortRecords(destination, format, Arrays::compareUnsigned, RecordSorter.DEFAULT_MAX_BUFFER_SIZE);
+    }
+
+    @Override
+    public @NonNull File sortRecords(final @NonNull Path destination,
+                                     final @NonNull RecordFormat format,
+                                     final @NonNull Comparator<byte[]> comparator,
+                                     final long maxBufferSize) {
+        Objects.requireNonNull(destination);
+        Objects.requireNonNull(format);
+        Objects.requireNonNull(comparator);
+        if (destination.getFileName() == null) {
+            throw new IllegalArgumentException("Jayo prevent zero element files, meaning with no file name.");
+        }
+        if (Files.isDirectory(destination)) {
+            throw new IllegalArgumentException("A Jayo's file cannot be a directory. Use `Directory` instead.");
+        }
+        if (maxBufferSize < 1L) {
+            throw new IllegalArgumentException("maxBufferSize must be strictly positive: " + maxBufferSize);
+        }
+        new RecordSorter((RealRecordFormat) format, comparator, maxBufferSize).sort(this, destination);
+        return new RealFile(destination);
+    }
+
     // shared with Directory
 
     @Override
@@ -180,19 +220,27 @@ public final class RealFile implements File {
                 throw JayoException.buildJayoException(e);
             }
         }
+    }
 
-        private @NonNull File checkAndBuildFile(final @NonNull Path path) {
-            Objects.requireNonNull(path);
-            if (!Files.exists(path)) {
-                throw new JayoFileNotFoundException("Path does not exist: " + path);
-            }
-            if (Files.isDirectory(path)) {
-                throw new IllegalArgumentException("A Jayo's file cannot be a directory. Use `Directory` instead.");
-            }
-            if (path.getFileName() == null) {
-                throw new IllegalArgumentException("Jayo prevent zero element files, meaning with no file name.");
-            }
-            return new RealFile(path);
+    /**
+     * Checks the path targets an existing file with a single stat, then returns it.
+     */
+    static @NonNull File checkAndBuildFile(final @NonNull Path path) {
+        Objects.requireNonNull(path);
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            throw new JayoFileNotFoundException("Path does not exist: " + path);
+        } catch (IOException e) {
+            throw JayoException.buildJayoException(e);
+        }
+        if (attributes.isDirectory()) {
+            throw new IllegalArgumentException("A Jayo's file cannot be a directory. Use `Directory` instead.");
+        }
+        if (path.getFileName() == null) {
+            throw new IllegalArgumentException("Jayo prevent zero element files, meaning with no file name.");
         }
+        return new RealFile(path);
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024-present, pull-vert and Jayo contributors.
+ * Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package jayo.files.internal;
+
+import jayo.files.PathResult;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+public final class RealPathResult<T> implements PathResult<T> {
+    private final @NonNull Path path;
+    private final @Nullable T value;
+    private final @Nullable RuntimeException exception;
+
+    private RealPathResult(final @NonNull Path path, final @Nullable T value, final @Nullable RuntimeException exception) {
+        this.path = Objects.requireNonNull(path);
+        this.value = value;
+        this.exception = exception;
+    }
+
+    static <T> @NonNull RealPathResult<T> success(final @NonNull Path path, final @NonNull T value) {
+        return new RealPathResult<>(path, Objects.requireNonNull(value), null);
+    }
+
+    static <T> @NonNull RealPathResult<T> failure(final @NonNull Path path, final @NonNull RuntimeException exception) {
+        return new RealPathResult<>(path, null, Objects.requireNonNull(exception));
+    }
+
+    @Override
+    public @NonNull Path getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    @Override
+    public @Nullable T getOrNull() {
+        return value;
+    }
+
+    @Override
+    public @NonNull T getOrThrow() {
+        if (exception != null) {
+            throw exception;
+        }
+        assert value != null;
+        return value;
+    }
+
+    @Override
+    public @Nullable RuntimeException exceptionOrNull() {
+        return exception;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return (exception == null)
+                ? "PathResult.success(" + path + ", " + value + ")"
+                : "PathResult.failure(" + path + ", " + exception + ")";
+    }
+}
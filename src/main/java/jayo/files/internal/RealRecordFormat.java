@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2024-present, pull-vert and Jayo contributors.
+ * Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package jayo.files.internal;
+
+import jayo.files.RecordFormat;
+import org.jspecify.annotations.NonNull;
+
+public final class RealRecordFormat implements RecordFormat {
+    private static final int DELIMITED = -1;
+
+    // DELIMITED for delimited records, else the fixed width of each record
+    final int width;
+    final byte delimiter;
+
+    private RealRecordFormat(final int width, final byte delimiter) {
+        this.width = width;
+        this.delimiter = delimiter;
+    }
+
+    public static @NonNull RealRecordFormat delimited(final byte delimiter) {
+        return new RealRecordFormat(DELIMITED, delimiter);
+    }
+
+    public static @NonNull RealRecordFormat fixedWidth(final int width) {
+        assert width > 0;
+        return new RealRecordFormat(width, (byte) 0);
+    }
+
+    boolean isDelimited() {
+        return width == DELIMITED;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return isDelimited() ? "RecordFormat.delimited(" + delimiter + ")" : "RecordFormat.fixedWidth(" + width + ")";
+    }
+}
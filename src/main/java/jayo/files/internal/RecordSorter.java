@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2024-present, pull-vert and Jayo contributors.
+ * Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package jayo.files.internal;
+
+import jayo.Jayo;
+import jayo.Reader;
+import jayo.Writer;
+import jayo.exceptions.JayoException;
+import jayo.files.File;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * External merge sort of the records of a file.
+ * <p>
+ * Records are read in runs that fit in the memory budget, each run is sorted in parallel then spilled to a temporary
+ * file, and all runs are finally k-way merged through a loser tree. Runs are spilled as length-prefixed records, so the
+ * merge never has to search for delimiters again. Sorting is stable : equal records keep their original order.
+ */
+final class RecordSorter {
+    static final long DEFAULT_MAX_BUFFER_SIZE = 64L * 1024 * 1024;
+
+    // max number of runs merged at once, more runs are merged in several passes to bound the count of open files
+    private static final int MAX_MERGE_FAN_IN = 128;
+    // estimated memory used by a record besides its bytes : byte array header and reference in the run
+    private static final int RECORD_OVERHEAD = 24;
+
+    private final @NonNull RealRecordFormat format;
+    private final @NonNull Comparator<byte[]> comparator;
+    private final long maxBufferSize;
+
+    RecordSorter(final @NonNull RealRecordFormat format,
+                 final @NonNull Comparator<byte[]> comparator,
+                 final long maxBufferSize) {
+        assert maxBufferSize > 0L;
+        this.format = Objects.requireNonNull(format);
+        this.comparator = Objects.requireNonNull(comparator);
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    void sort(final @NonNull File source, final @NonNull Path destination) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(destination);
+
+        final var workDirectory = destination.toAbsolutePath().getParent();
+        final var runs = new ArrayList<Path>();
+        Path output = null;
+        try {
+            final byte[][] lastRun;
+            try (final var reader = Jayo.buffer(source.reader())) {
+                final var run = new ArrayList<byte[]>();
+                var runSize = 0L;
+                byte[] record;
+                while ((record = readRecord(reader)) != null) {
+                    run.add(record);
+                    runSize += record.length + RECORD_OVERHEAD;
+                    if (runSize >= maxBufferSize) {
+                        runs.add(spill(sortRun(run), workDirectory));
+                        run.clear();
+                        runSize = 0L;
+                    }
+                }
+                lastRun = sortRun(run);
+            }
+
+            // created with Files.createFile, so it gets default permissions instead of the owner-only ones of a temp file
+            output = workDirectory.resolve(destination.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            final var outputFile = File.from(output).create();
+            if (runs.isEmpty()) {
+                // everything fitted in memory, no need to merge
+                try (final var writer = Jayo.buffer(outputFile.writer())) {
+                    for (final var sortedRecord : lastRun) {
+                        writeRecord(writer, sortedRecord);
+                    }
+                }
+            } else {
+                if (lastRun.length > 0) {
+                    runs.add(spill(lastRun, workDirectory));
+                }
+                while (runs.size() > MAX_MERGE_FAN_IN) {
+                    mergePass(runs, workDirectory);
+                }
+                try (final var writer = Jayo.buffer(outputFile.writer())) {
+                    merge(runs, writer, false);
+                }
+            }
+            copyPermissions(destination, output);
+            outputFile.atomicMove(destination);
+            output = null;
+        } catch (IOException e) {
+            throw JayoException.buildJayoException(e);
+        } finally {
+            for (final var run : runs) {
+                deleteQuietly(run);
+            }
+            if (output != null) {
+                deleteQuietly(output);
+            }
+        }
+    }
+
+    /**
+     * Copies the POSIX permissions of {@code destination} onto {@code output} if {@code destination} already exists, so
+     * that replacing it, for example when sorting in place, keeps them.
+     */
+    private static void copyPermissions(final @NonNull Path destination, final @NonNull Path output)
+            throws IOException {
+        final var destinationView = Files.getFileAttributeView(destination, PosixFileAttributeView.class);
+        if (destinationView == null) {
+            return;
+        }
+        final Set<PosixFilePermission> permissions;
+        try {
+            permissions = destinationView.readAttributes().permissions();
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        Files.setPosixFilePermissions(output, permissions);
+    }
+
+    private byte @Nullable [] readRecord(final @NonNull Reader reader) {
+        if (format.isDelimited()) {
+            if (reader.exhausted()) {
+                return null;
+            }
+            final var delimiterIndex = reader.indexOf(format.delimiter);
+            if (delimiterIndex == -1L) {
+                // last record, without trailing delimiter
+                return reader.readByteArray();
+            }
+            final var record = reader.readByteArray(delimiterIndex);
+            reader.skip(1L);
+            return record;
+        }
+
+        if (!reader.request(format.width)) {
+            if (!reader.exhausted()) {
+                throw new IllegalStateException("The file size is not a multiple of the record width " +
+                        format.width);
+            }
+            return null;
+        }
+        return reader.readByteArray(format.width);
+    }
+
+    private void writeRecord(final @NonNull Writer writer, final byte @NonNull [] record) {
+        writer.write(record);
+        if (format.isDelimited()) {
+            writer.writeByte(format.delimiter);
+        }
+    }
+
+    private byte @NonNull [] @NonNull [] sortRun(final @NonNull List<byte[]> run) {
+        final var sorted = run.toArray(new byte[0][]);
+        // stable, and uses the common fork-join pool for big enough runs
+        Arrays.parallelSort(sorted, comparator);
+        return sorted;
+    }
+
+    private static @NonNull Path spill(final byte @NonNull [] @NonNull [] sortedRun, final @NonNull Path workDirectory)
+            throws IOException {
+        final var run = Files.createTempFile(workDirectory, "jayo-sort-", ".run");
+        try (final var writer = Jayo.buffer(Jayo.writer(run))) {
+            for (final var record : sortedRun) {
+                writeFramed(writer, record);
+            }
+        } catch (Throwable t) {
+            deleteQuietly(run);
+            throw t;
+        }
+        return run;
+    }
+
+    private static void writeFramed(final @NonNull Writer writer, final byte @NonNull [] record) {
+        writer.writeInt(record.length);
+        writer.write(record);
+    }
+
+    /**
+     * Merges the runs by groups of {@link #MAX_MERGE_FAN_IN}, replacing each group by its merged run in {@code runs}.
+     */
+    private void mergePass(final @NonNull List<Path> runs, final @NonNull Path workDirectory) throws IOException {
+        final var mergedRuns = new ArrayList<Path>();
+        try {
+            for (var i = 0; i < runs.size(); i += MAX_MERGE_FAN_IN) {
+                final var group = runs.subList(i, Math.min(i + MAX_MERGE_FAN_IN, runs.size()));
+                final var mergedRun = Files.createTempFile(workDirectory, "jayo-sort-", ".run");
+                mergedRuns.add(mergedRun);
+                try (final var writer = Jayo.buffer(Jayo.writer(mergedRun))) {
+                    merge(group, writer, true);
+                }
+            }
+        } catch (Throwable t) {
+            for (final var mergedRun : mergedRuns) {
+                deleteQuietly(mergedRun);
+            }
+            throw t;
+        }
+        for (final var run : runs) {
+            deleteQuietly(run);
+        }
+        runs.clear();
+        runs.addAll(mergedRuns);
+    }
+
+    private void merge(final @NonNull List<Path> runs, final @NonNull Writer writer, final boolean framed) {
+        final var cursors = new RunCursor[runs.size()];
+        try {
+            for (var i = 0; i < cursors.length; i++) {
+                cursors[i] = new RunCursor(Jayo.buffer(Jayo.reader(runs.get(i))));
+            }
+            final var loserTree = new LoserTree(cursors, comparator);
+            byte[] record;
+            while ((record = loserTree.next()) != null) {
+                if (framed) {
+                    writeFramed(writer, record);
+                } else {
+                    writeRecord(writer, record);
+                }
+            }
+        } finally {
+            for (final var cursor : cursors) {
+                if (cursor != null) {
+                    cursor.reader.close();
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(final @NonNull Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static final class RunCursor {
+        private final @NonNull Reader reader;
+        private byte @Nullable [] head;
+
+        private RunCursor(final @NonNull Reader reader) {
+            this.reader = reader;
+            advance();
+        }
+
+        private void advance() {
+            head = reader.exhausted() ? null : reader.readByteArray(reader.readInt());
+        }
+    }
+
+    /**
+     * A tournament tree that stores the loser of each match in the internal nodes, so replacing the winner only replays
+     * the matches on its path to the root : {@code log2(k)} comparisons per record for {@code k} runs.
+     */
+    private static final class LoserTree {
+        // virtual run that wins every match, used to build the tree
+        private static final int SENTINEL = -1;
+
+        private final @NonNull RunCursor @NonNull [] cursors;
+        private final @NonNull Comparator<byte[]> comparator;
+        // tree[0] is the overall winner, tree[1..k-1] are the losers of each match
+        private final int @NonNull [] tree;
+
+        private LoserTree(final @NonNull RunCursor @NonNull [] cursors, final @NonNull Comparator<byte[]> comparator) {
+            this.cursors = cursors;
+            this.comparator = comparator;
+            tree = new int[cursors.length];
+            Arrays.fill(tree, SENTINEL);
+            for (var i = cursors.length - 1; i >= 0; i--) {
+                replay(i);
+            }
+        }
+
+        private byte @Nullable [] next() {
+            final var winner = tree[0];
+            final var cursor = cursors[winner];
+            final var record = cursor.head;
+            if (record != null) {
+                cursor.advance();
+                replay(winner);
+            }
+            return record;
+        }
+
+        private void replay(final int run) {
+            var winner = run;
+            for (var node = (run + cursors.length) >>> 1; node > 0; node >>>= 1) {
+                if (beats(tree[node], winner)) {
+                    final var loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        private boolean beats(final int run, final int other) {
+            if (run == SENTINEL) {
+                return true;
+            }
+            if (other == SENTINEL) {
+                return false;
+            }
+            final var record = cursors[run].head;
+            final var otherRecord = cursors[other].head;
+            // exhausted runs lose every match
+            if (record == null) {
+                return false;
+            }
+            if (otherRecord == null) {
+                return true;
+            }
+            final var comparison = comparator.compare(record, otherRecord);
+            // on equality, the earliest run wins to keep the sort stable
+            return comparison < 0 || (comparison == 0 && run < other);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024-present, pull-vert and Jayo contributors.
+ * Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package jayo.files;
+
+import jayo.exceptions.JayoFileNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FileBulkTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void openAllKeepsInputOrder() throws IOException {
+        final var first = createFile("first");
+        final var second = createFile("second");
+        final var paths = List.of(second, first, second);
+
+        final var results = File.openAll(paths, 2);
+
+        assertThat(results.stream().map(PathResult::getPath).toList()).isEqualTo(paths);
+        assertThat(results.stream().allMatch(PathResult::isSuccess)).isTrue();
+        assertThat(results.get(0).getOrThrow().getPath()).isEqualTo(second);
+        assertThat(results.get(1).getOrThrow().getPath()).isEqualTo(first);
+        // a duplicate path is opened only once
+        assertThat(results.get(2)).isSameAs(results.get(0));
+    }
+
+    @Test
+    void openAllReportsFailuresWithoutStoppingTheBatch() throws IOException {
+        final var existing = createFile("existing");
+        final var missing = tempDir.resolve("missing");
+        final var directory = Files.createDirectory(tempDir.resolve("directory"));
+        final var missingParent = tempDir.resolve("missingParent").resolve("child");
+
+        final var results = File.openAll(List.of(missing, existing, directory, missingParent));
+
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getOrNull()).isNull();
+        assertThat(results.get(0).exceptionOrNull()).isInstanceOf(JayoFileNotFoundException.class);
+        assertThat(results.get(1).isSuccess()).isTrue();
+        assertThat(results.get(1).exceptionOrNull()).isNull();
+        assertThat(results.get(1).getOrThrow().getName()).isEqualTo("existing");
+        assertThat(results.get(2).exceptionOrNull()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(results.get(3).exceptionOrNull()).isInstanceOf(JayoFileNotFoundException.class);
+        assertThatThrownBy(() -> results.get(3).getOrThrow()).isInstanceOf(JayoFileNotFoundException.class);
+    }
+
+    @Test
+    void openAllWithManyFilesInMissingParent() throws IOException {
+        final var existing = createFile("existing");
+        final var missingParent = tempDir.resolve("missingParent");
+        final var paths = new ArrayList<Path>();
+        for (var i = 0; i < 100; i++) {
+            paths.add(missingParent.resolve("child" + i));
+        }
+        paths.add(existing);
+
+        final var results = File.openAll(paths, 4);
+
+        assertThat(results).hasSize(101);
+        for (var i = 0; i < 100; i++) {
+            assertThat(results.get(i).exceptionOrNull()).isInstanceOf(JayoFileNotFoundException.class);
+        }
+        assertThat(results.get(100).isSuccess()).isTrue();
+    }
+
+    @Test
+    void openAllWithInvalidMaxConcurrency() {
+        assertThatThrownBy(() -> File.openAll(List.of(tempDir.resolve("file")), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getAllMetadataKeepsInputOrder() throws IOException {
+        final var first = File.from(createFile("first")).open();
+        final var second = File.from(createFile("second")).open();
+
+        final var results = File.getAllMetadata(List.of(second, first, second));
+
+        assertThat(results.stream().map(PathResult::getPath).toList())
+                .isEqualTo(List.of(second.getPath(), first.getPath(), second.getPath()));
+        assertThat(results.stream().allMatch(result -> result.getOrThrow().isRegularFile())).isTrue();
+        assertThat(results.get(2)).isSameAs(results.get(0));
+    }
+
+    @Test
+    void getAllMetadataOfDeletedFile() throws IOException {
+        final var existing = File.from(createFile("existing")).open();
+        final var deleted = File.from(createFile("deleted")).open();
+        deleted.delete();
+
+        final var results = File.getAllMetadata(List.of(deleted, existing), 1);
+
+        assertThat(results.get(0).exceptionOrNull()).isInstanceOf(JayoFileNotFoundException.class);
+        assertThat(results.get(1).isSuccess()).isTrue();
+    }
+
+    @Test
+    void getAllMetadataWithInvalidMaxConcurrency() throws IOException {
+        final var file = File.from(createFile("file")).open();
+
+        assertThatThrownBy(() -> File.getAllMetadata(List.of(file), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path createFile(final String name) throws IOException {
+        return Files.writeString(tempDir.resolve(name), name);
+    }
+}
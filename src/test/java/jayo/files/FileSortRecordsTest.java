@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024-present, pull-vert and Jayo contributors.
+ * Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package jayo.files;
+
+import jayo.exceptions.JayoFileNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class FileSortRecordsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sortLinesInMemory() throws IOException {
+        final var source = createFile("source.txt", "pear\napple\ncherry\n");
+
+        final var sorted = source.sortRecords(tempDir.resolve("sorted.txt"), RecordFormat.lines());
+
+        assertThat(sorted.getPath()).isEqualTo(tempDir.resolve("sorted.txt"));
+        assertThat(Files.readString(sorted.getPath())).isEqualTo("apple\ncherry\npear\n");
+        assertThat(Files.readString(source.getPath())).isEqualTo("pear\napple\ncherry\n");
+    }
+
+    @Test
+    void sortAddsDelimiterAfterLastRecord() throws IOException {
+        final var source = createFile("source.txt", "b;c;a");
+
+        final var sorted = source.sortRecords(tempDir.resolve("sorted.txt"), RecordFormat.delimited((byte) ';'));
+
+        assertThat(Files.readString(sorted.getPath())).isEqualTo("a;b;c;");
+    }
+
+    @Test
+    void sortEmptyFile() throws IOException {
+        final var source = createFile("source.txt", "");
+
+        final var sorted = source.sortRecords(tempDir.resolve("sorted.txt"), RecordFormat.lines());
+
+        assertThat(Files.size(sorted.getPath())).isEqualTo(0L);
+        assertThat(listTempDir()).containsExactlyInAnyOrder("source.txt", "sorted.txt");
+    }
+
+    @Test
+    void sortInPlace() throws IOException {
+        final var source = createFile("source.txt", "3\n1\n2\n");
+
+        final var sorted = source.sortRecords(source.getPath(), RecordFormat.lines(), Arrays::compareUnsigned, 1L);
+
+        assertThat(sorted.getPath()).isEqualTo(source.getPath());
+        assertThat(Files.readString(source.getPath())).isEqualTo("1\n2\n3\n");
+        assertThat(listTempDir()).containsExactly("source.txt");
+    }
+
+    @Test
+    void sortInPlaceKeepsPermissions() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        final var source = createFile("source.txt", "3\n1\n2\n");
+        final var permissions = PosixFilePermissions.fromString("rw-r--r--");
+        Files.setPosixFilePermissions(source.getPath(), permissions);
+
+        source.sortRecords(source.getPath(), RecordFormat.lines());
+
+        assertThat(Files.readString(source.getPath())).isEqualTo("1\n2\n3\n");
+        assertThat(Files.getPosixFilePermissions(source.getPath())).isEqualTo(permissions);
+    }
+
+    @Test
+    void sortToExistingDestinationKeepsItsPermissions() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        final var source = createFile("source.txt", "3\n1\n2\n");
+        final var destination = createFile("sorted.txt", "previous content").getPath();
+        final var permissions = PosixFilePermissions.fromString("r--r-----");
+        Files.setPosixFilePermissions(destination, permissions);
+
+        source.sortRecords(destination, RecordFormat.lines());
+
+        assertThat(Files.readString(destination)).isEqualTo("1\n2\n3\n");
+        assertThat(Files.getPosixFilePermissions(destination)).isEqualTo(permissions);
+    }
+
+    @Test
+    void sortWithMultipleMergePasses() throws IOException {
+        // a buffer size of 1 spills one run per record, so 500 records need more than one merge pass
+        final var random = new Random(42);
+        final var lines = new ArrayList<String>();
+        for (var i = 0; i < 500; i++) {
+            lines.add(Integer.toString(random.nextInt(10_000)));
+        }
+        final var source = createFile("source.txt", String.join("\n", lines));
+
+        final var sorted = source.sortRecords(tempDir.resolve("sorted.txt"), RecordFormat.lines(),
+                Arrays::compareUnsigned, 1L);
+
+        final var expected = new ArrayList<>(lines);
+        expected.sort(null);
+        assertThat(Files.readAllLines(sorted.getPath())).isEqualTo(expected);
+        assertThat(listTempDir()).containsExactlyInAnyOrder("source.txt", "sorted.txt");
+    }
+
+    @Test
+    void sortIsStable() throws IOException {
+        // records are compared on their first byte only, equal ones must keep their original order
+        final var lines = new ArrayList<String>();
+        for (var i = 0; i < 300; i++) {
+            lines.add((char) ('a' + (i % 3)) + Integer.toString(i));
+        }
+        final var source = createFile("source.txt", String.join("\n", lines));
+
+        final var sorted = source.sortRecords(tempDir.resolve("sorted.txt"), RecordFormat.lines(),
+                (first, second) -> Byte.compare(first[0], second[0]), 1L);
+
+        final var expected = new ArrayList<>(lines);
+        expected.sort((first, second) -> Character.compare(first.charAt(0), second.charAt(0)));
+        assertThat(Files.readAllLines(sorted.getPath())).isEqualTo(expected);
+    }
+
+    @Test
+    void sortFixedWidthRecords() throws IOException {
+        final var source = createFile("source.bin", "ccbbaa");
+
+        final var sorted = source.sortRecords(tempDir.resolve("sorted.bin"), RecordFormat.fixedWidth(2));
+
+        assertThat(Files.readString(sorted.getPath())).isEqualTo("aabbcc");
+    }
+
+    @Test
+    void sortFixedWidthRecordsWithPartialLastRecord() throws IOException {
+        final var source = createFile("source.bin", "ccbba");
+
+        assertThatThrownBy(() -> source.sortRecords(tempDir.resolve("sorted.bin"), RecordFormat.fixedWidth(2)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(listTempDir()).containsExactly("source.bin");
+    }
+
+    @Test
+    void sortRemovesTempFilesWhenComparatorThrows() throws IOException {
+        final var source = createFile("source.txt", "3\n1\n2\n");
+
+        assertThatThrownBy(() -> source.sortRecords(tempDir.resolve("sorted.txt"), RecordFormat.lines(),
+                (first, second) -> {
+                    throw new IllegalStateException("boom");
+                }, 1L))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(listTempDir()).containsExactly("source.txt");
+    }
+
+    @Test
+    void sortToPathWithoutFileName() throws IOException {
+        final var source = createFile("source.txt", "b\na\n");
+
+        assertThatThrownBy(() -> source.sortRecords(tempDir.getRoot(), RecordFormat.lines()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sortToDirectory() throws IOException {
+        final var source = createFile("source.txt", "b\na\n");
+        final var directory = Files.createDirectory(tempDir.resolve("directory"));
+
+        assertThatThrownBy(() -> source.sortRecords(directory, RecordFormat.lines()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Files.isDirectory(directory)).isTrue();
+        assertThat(listTempDir()).containsExactlyInAnyOrder("source.txt", "directory");
+    }
+
+    @Test
+    void sortWithInvalidBufferSize() throws IOException {
+        final var source = createFile("source.txt", "b\na\n");
+
+        assertThatThrownBy(() -> source.sortRecords(tempDir.resolve("sorted.txt"), RecordFormat.lines(),
+                Arrays::compareUnsigned, 0L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sortDeletedFile() throws IOException {
+        final var source = createFile("source.txt", "b\na\n");
+        source.delete();
+
+        assertThatThrownBy(() -> source.sortRecords(tempDir.resolve("sorted.txt"), RecordFormat.lines()))
+                .isInstanceOf(JayoFileNotFoundException.class);
+    }
+
+    @Test
+    void invalidFixedWidth() {
+        assertThatThrownBy(() -> RecordFormat.fixedWidth(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private File createFile(final String name, final String content) throws IOException {
+        final var path = tempDir.resolve(name);
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return File.from(path).open();
+    }
+
+    private List<String> listTempDir() throws IOException {
+        try (final Stream<Path> paths = Files.list(tempDir)) {
+            return paths.map(path -> path.getFileName().toString()).toList();
+        }
+    }
+}